@@ -49,6 +49,132 @@ public class FastString implements CharSequence {
         this(data, 0, data.length);
     }
 
+    /**
+     * Constructs a FastString whose character length is already known, skipping the UTF-8 rescan.
+     * Callers are responsible for passing a charLength that matches the byte segment.
+     */
+    private FastString(byte[] data, int offset, int byteLength, int charLength) {
+        this.data = data;
+        this.offset = offset;
+        this.byteLength = byteLength;
+        this.charLength = charLength;
+    }
+
+    /**
+     * Creates a FastString from a String without rescanning the encoded bytes. Pure ASCII input
+     * (the common case for Latin-1 coded strings) comes back from the JDK encoder as a single
+     * copy whose byte length equals the char length; anything else takes its char length from
+     * the String's code points.
+     *
+     * @param s The source string.
+     * @return A FastString with the same content.
+     */
+    public static FastString of(String s) {
+        if (s == null) {
+            throw new IllegalArgumentException("Source string is null");
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        return new FastString(bytes, 0, bytes.length, charLengthOf(s, bytes.length));
+    }
+
+    /**
+     * Creates a FastString from any CharSequence. A FastString is returned as-is since it is
+     * immutable, and a FastStringRopeLike hands over its UTF-8 bytes and known char length
+     * directly; other sequences are converted as in {@link #of(String)}.
+     *
+     * @param cs The source character sequence.
+     * @return A FastString with the same content.
+     */
+    public static FastString of(CharSequence cs) {
+        if (cs instanceof FastString) {
+            return (FastString) cs;
+        }
+        if (cs instanceof FastStringRopeLike) {
+            FastStringRopeLike rope = (FastStringRopeLike) cs;
+            byte[] bytes = new byte[rope.byteLength()];
+            rope.copyBytesTo(bytes, 0);
+            return new FastString(bytes, 0, bytes.length, rope.length());
+        }
+        if (cs == null) {
+            throw new IllegalArgumentException("Source sequence is null");
+        }
+        return of(cs.toString());
+    }
+
+    /**
+     * Converts a batch of Strings in one go. All results share a single backing byte array: pure
+     * ASCII strings are narrowed straight into it, and only non-ASCII strings go through the JDK
+     * encoder into a temporary array first.
+     *
+     * @param strings The source strings.
+     * @return FastStrings in the same order as the input, views over one shared array.
+     */
+    @SuppressWarnings("deprecation") // String.getBytes(int, int, byte[], int) is an exact copy for ASCII
+    public static FastString[] of(String[] strings) {
+        if (strings == null) {
+            throw new IllegalArgumentException("Source array is null");
+        }
+        int count = strings.length;
+        // UTF-8 bytes of non-ASCII strings; null marks a pure ASCII string whose byte length is its length
+        byte[][] encoded = new byte[count][];
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            String s = strings[i];
+            if (s == null) {
+                throw new IllegalArgumentException("Source string at index " + i + " is null");
+            }
+            int byteLength = s.length();
+            if (!isAscii(s)) {
+                encoded[i] = s.getBytes(StandardCharsets.UTF_8);
+                byteLength = encoded[i].length;
+            }
+            total += byteLength;
+            if (total < 0) {
+                throw new IllegalArgumentException("Combined byte length exceeds array limits");
+            }
+        }
+
+        byte[] shared = new byte[total];
+        FastString[] result = new FastString[count];
+        int pos = 0;
+        for (int i = 0; i < count; i++) {
+            String s = strings[i];
+            byte[] bytes = encoded[i];
+            int len = s.length();
+            int byteLength = len;
+            if (bytes == null) {
+                s.getBytes(0, len, shared, pos);
+            } else {
+                byteLength = bytes.length;
+                System.arraycopy(bytes, 0, shared, pos, byteLength);
+            }
+            result[i] = new FastString(shared, pos, byteLength, charLengthOf(s, byteLength));
+            pos += byteLength;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the FastString char length of a String given its UTF-8 byte length. Equal lengths
+     * mean every char was ASCII; otherwise each UTF-8 sequence is one code point.
+     */
+    private static int charLengthOf(String s, int utf8Length) {
+        int len = s.length();
+        return (utf8Length == len) ? len : s.codePointCount(0, len);
+    }
+
+    /**
+     * Returns true if every char of s is ASCII, so it narrows to UTF-8 byte for byte.
+     */
+    private static boolean isAscii(String s) {
+        int len = s.length();
+        for (int i = 0; i < len; i++) {
+            if (s.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
 
     /**
      * Computes the number of characters in the byte array segment assuming UTF-8 encoding.
@@ -144,8 +270,8 @@ public class FastString implements CharSequence {
         // Copy bytes from the second FastString
         System.arraycopy(other.data, other.offset, newData, this.byteLength, other.byteLength);
 
-        // Return a new FastString with the combined bytes
-        return new FastString(newData, 0, newData.length);
+        // Return a new FastString with the combined bytes; both char lengths are already known
+        return new FastString(newData, 0, newData.length, this.charLength + other.charLength);
     }
 
     @Override
@@ -156,7 +282,7 @@ public class FastString implements CharSequence {
         int byteStart = findByteIndexOfChar(start);
         int byteEnd = (end == charLength) ? offset + byteLength : findByteIndexOfChar(end);
         int newByteLength = byteEnd - byteStart;
-        return new FastString(data, byteStart, newByteLength);
+        return new FastString(data, byteStart, newByteLength, end - start);
     }
 
     @Override
@@ -0,0 +1,339 @@
+package fast;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class FastStringConcurrencyTest {
+    private static final int OPS_PER_THREAD = 200_000;
+    private static final int ROPE_PIECES = 64;
+    private static final int FLATTEN_ROUNDS = 1_000;
+    private static final int MIN_RACE_THREADS = 4;
+    private static final String SAMPLE_TEXT = "Hello, World! This is a test string with some length.";
+    private static final byte[] SAMPLE_BYTES = SAMPLE_TEXT.getBytes(StandardCharsets.UTF_8);
+
+    // Results are folded in here so the JIT cannot drop the measured calls
+    private static volatile long sink;
+
+    // FastStringRopeLike.node and Leaf.data, looked up on first use by backingArray
+    private static volatile Field nodeField;
+    private static volatile Field leafDataField;
+
+    private interface Operation {
+        int run(int i);
+    }
+
+    /**
+     * Usage: FastStringConcurrencyTest [raceThreads] [raceRounds]. The race verifier defaults to at
+     * least MIN_RACE_THREADS threads even on small hosts, since time-slicing still interleaves them.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        int raceThreads = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(MIN_RACE_THREADS, maxThreads);
+        int raceRounds = args.length > 1 ? Integer.parseInt(args[1]) : FLATTEN_ROUNDS;
+        if (raceThreads < 2 || raceRounds < 1) {
+            throw new IllegalArgumentException("Race needs at least 2 threads and 1 round");
+        }
+        ThreadFactory platform = Thread::new;
+        ThreadFactory virtual = virtualThreadFactory();
+
+        // Warm-up to stabilize JVM
+        warmUp();
+
+        // Run scaling benchmarks
+        testScaling("ToString", maxThreads, platform, virtual);
+        testScaling("CharAt (mid)", maxThreads, platform, virtual);
+        testScaling("Substring", maxThreads, platform, virtual);
+        testScaling("Concat", maxThreads, platform, virtual);
+
+        // Verify lazy cache publication on FastStringRopeLike
+        verifyFlattening(raceThreads, raceRounds, platform, "platform");
+        if (virtual != null) {
+            verifyFlattening(raceThreads, raceRounds, virtual, "virtual");
+        }
+    }
+
+    private static void warmUp() {
+        FastString fastStr = new FastString(SAMPLE_BYTES);
+        FastStringRopeLike fastStrRopeLike = buildRope();
+        long acc = 0;
+        for (int i = 0; i < 10_000; i++) {
+            acc += fastStr.toString().length() + fastStr.charAt(i % fastStr.length());
+            acc += fastStr.subSequence(7, 12).length() + fastStr.concat(fastStr).length();
+            acc += fastStrRopeLike.toString().length() + fastStrRopeLike.charAt(i % fastStrRopeLike.length());
+            acc += fastStrRopeLike.subSequence(7, 12).length() + fastStrRopeLike.concat(fastStrRopeLike).length();
+        }
+        sink = acc;
+    }
+
+    /**
+     * Looks up Thread.ofVirtual().factory() reflectively so the harness still runs on JDKs without
+     * virtual threads; returns null there.
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            System.out.println("Virtual threads unavailable on this JDK, running platform threads only");
+            return null;
+        }
+    }
+
+    /**
+     * Builds an unflattened rope of ROPE_PIECES leaves with the same content as SAMPLE_TEXT repeated.
+     */
+    private static FastStringRopeLike buildRope() {
+        FastStringRopeLike rope = new FastStringRopeLike(SAMPLE_BYTES);
+        for (int i = 1; i < ROPE_PIECES; i++) {
+            rope = rope.concat(new FastStringRopeLike(SAMPLE_BYTES));
+        }
+        return rope;
+    }
+
+    private static Operation operation(String name, CharSequence shared) {
+        int midIndex = shared.length() / 2;
+        switch (name) {
+            case "ToString":
+                return i -> shared.toString().length();
+            case "CharAt (mid)":
+                return i -> shared.charAt(midIndex);
+            case "Substring":
+                return i -> shared.subSequence(7, 12).length();
+            case "Concat":
+                if (shared instanceof FastString) {
+                    FastString fs = (FastString) shared;
+                    return i -> fs.concat(fs).length();
+                } else if (shared instanceof FastStringRopeLike) {
+                    FastStringRopeLike fsr = (FastStringRopeLike) shared;
+                    return i -> fsr.concat(fsr).length();
+                }
+                String s = (String) shared;
+                return i -> s.concat(s).length();
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + name);
+        }
+    }
+
+    private static void testScaling(String name, int maxThreads, ThreadFactory platform, ThreadFactory virtual)
+            throws InterruptedException {
+        String str = buildRope().toString();
+        CharSequence[] shared = {str, FastString.of(str), buildRope()};
+        String[] labels = {"String", "FastString", "FastStringRopeLike"};
+
+        for (int t = 0; t < shared.length; t++) {
+            Operation op = operation(name, shared[t]);
+            printScaling(name, labels[t], "platform", op, maxThreads, platform);
+            if (virtual != null) {
+                printScaling(name, labels[t], "virtual", op, maxThreads, virtual);
+            }
+        }
+    }
+
+    private static void printScaling(String name, String label, String kind, Operation op, int maxThreads,
+                                     ThreadFactory factory) throws InterruptedException {
+        double baseline = 0;
+        for (int threads : threadCounts(maxThreads)) {
+            long[] result = runShared(op, threads, factory);
+            long elapsed = result[0];
+            long allocated = result[1];
+            double opsPerMs = (double) threads * OPS_PER_THREAD / (elapsed / 1_000_000.0);
+            if (threads == 1) {
+                baseline = opsPerMs;
+            }
+            String allocPerOp = allocated < 0 ? "n/a" : String.format("%.1f B", (double) allocated / ((long) threads * OPS_PER_THREAD));
+            System.out.printf("%s - %s (%s, %d threads): %d ns, %.0f ops/ms, Scaling: %.2fx, Alloc/op: %s%n",
+                    name, label, kind, threads, elapsed, opsPerMs, opsPerMs / baseline, allocPerOp);
+        }
+    }
+
+    private static List<Integer> threadCounts(int maxThreads) {
+        List<Integer> counts = new ArrayList<>();
+        for (int n = 1; n < maxThreads; n *= 2) {
+            counts.add(n);
+        }
+        counts.add(maxThreads);
+        return counts;
+    }
+
+    /**
+     * Runs op OPS_PER_THREAD times on each of the given number of threads, all released together.
+     * Returns {elapsed ns, allocated bytes}; allocated bytes is -1 when the JVM cannot report it
+     * for these threads (e.g. virtual threads). Fails the run if any worker throws, since its
+     * timing would no longer cover the requested number of operations.
+     */
+    private static long[] runShared(Operation op, int threads, ThreadFactory factory) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicLong allocated = new AtomicLong();
+        AtomicLong acc = new AtomicLong();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+
+        for (int t = 0; t < threads; t++) {
+            factory.newThread(() -> {
+                try {
+                    ready.countDown();
+                    start.await();
+                    long before = threadAllocatedBytes();
+                    int local = 0;
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        local += op.run(i);
+                    }
+                    long after = threadAllocatedBytes();
+                    if (before < 0 || after < 0) {
+                        allocated.set(Long.MIN_VALUE);
+                    } else {
+                        allocated.addAndGet(after - before);
+                    }
+                    acc.addAndGet(local);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    recordFailure(e, failures, firstFailure);
+                } catch (RuntimeException | Error e) {
+                    recordFailure(e, failures, firstFailure);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        ready.await();
+        long startTime = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - startTime;
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " of " + threads + " workers failed", firstFailure.get());
+        }
+        sink = acc.get();
+        return new long[]{elapsed, allocated.get() < 0 ? -1 : allocated.get()};
+    }
+
+    private static void recordFailure(Throwable e, AtomicInteger failures, AtomicReference<Throwable> firstFailure) {
+        failures.incrementAndGet();
+        firstFailure.compareAndSet(null, e);
+    }
+
+    /**
+     * Reads the array behind a subSequence view (its Leaf's data, i.e. the byteCache it was cut from)
+     * reflectively, so the class under test needs no diagnostic hooks.
+     */
+    private static byte[] backingArray(FastStringRopeLike view) {
+        try {
+            if (nodeField == null) {
+                Field node = FastStringRopeLike.class.getDeclaredField("node");
+                node.setAccessible(true);
+                Field data = Class.forName(FastStringRopeLike.class.getName() + "$Leaf").getDeclaredField("data");
+                data.setAccessible(true);
+                leafDataField = data;
+                nodeField = node;
+            }
+            return (byte[]) leafDataField.get(nodeField.get(view));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("FastStringRopeLike internals changed; update the race verifier", e);
+        }
+    }
+
+    private static long threadAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /**
+     * Races the first toString()/subSequence() calls on a fresh rope across threads. Every thread
+     * records the array behind its subSequence view, so more than one distinct array means byteCache
+     * was flattened more than once; more than one distinct String from toString() means strCache was
+     * materialised more than once. Content that does not match the expected text, or an exception,
+     * means a thread observed a partially published cache.
+     */
+    private static void verifyFlattening(int threads, int rounds, ThreadFactory factory, String kind)
+            throws InterruptedException {
+        String expected = buildRope().toString();
+        String expectedSub = expected.substring(7, 12);
+        int duplicateFlattenRounds = 0;
+        int extraFlattens = 0;
+        int duplicateToStringRounds = 0;
+        int extraToStrings = 0;
+        AtomicInteger torn = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+
+        for (int round = 0; round < rounds; round++) {
+            FastStringRopeLike rope = buildRope();
+            Set<byte[]> arrays = Collections.newSetFromMap(new IdentityHashMap<>());
+            Set<String> strings = Collections.newSetFromMap(new IdentityHashMap<>());
+            CountDownLatch ready = new CountDownLatch(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(threads);
+
+            for (int t = 0; t < threads; t++) {
+                boolean subFirst = (t & 1) == 1;
+                factory.newThread(() -> {
+                    try {
+                        ready.countDown();
+                        start.await();
+                        // Alternate entry points so both byteCache and strCache are raced
+                        FastStringRopeLike sub = subFirst ? (FastStringRopeLike) rope.subSequence(7, 12) : null;
+                        String s = rope.toString();
+                        if (sub == null) {
+                            sub = (FastStringRopeLike) rope.subSequence(7, 12);
+                        }
+                        if (!expected.equals(s) || !expectedSub.equals(sub.toString())) {
+                            torn.incrementAndGet();
+                        }
+                        synchronized (arrays) {
+                            arrays.add(backingArray(sub));
+                            strings.add(s);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        recordFailure(e, failures, firstFailure);
+                    } catch (RuntimeException | Error e) {
+                        recordFailure(e, failures, firstFailure);
+                    } finally {
+                        done.countDown();
+                    }
+                }).start();
+            }
+
+            ready.await();
+            start.countDown();
+            done.await();
+            synchronized (arrays) {
+                if (arrays.size() > 1) {
+                    duplicateFlattenRounds++;
+                    extraFlattens += arrays.size() - 1;
+                }
+                if (strings.size() > 1) {
+                    duplicateToStringRounds++;
+                    extraToStrings += strings.size() - 1;
+                }
+            }
+        }
+
+        System.out.printf("Flattening (%s, %d threads, %d rounds) - Rounds with duplicate byteCache flattening: %d, Extra flattens: %d, "
+                        + "Rounds with duplicate toString materialisation: %d, Extra toStrings: %d, Torn reads: %d, Failures: %d%n",
+                kind, threads, rounds, duplicateFlattenRounds, extraFlattens, duplicateToStringRounds, extraToStrings,
+                torn.get(), failures.get());
+        if (firstFailure.get() != null) {
+            System.out.println("First failure:");
+            firstFailure.get().printStackTrace(System.out);
+        }
+    }
+}
@@ -21,13 +21,24 @@ public class FastStringPerformanceTest {
         testCharAt();
         testSubstring();
         testConcat();
+        testFromString();
+        testFromStringBatch();
     }
 
     private static void warmUp() {
+        String[] batch = new String[100];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = "hello" + i;
+        }
         for (int i = 0; i < 10_000; i++) {
             new String(SAMPLE_BYTES, StandardCharsets.UTF_8);
             new FastString(SAMPLE_BYTES);
             new FastStringRopeLike(SAMPLE_BYTES);
+            FastString.of(SAMPLE_TEXT);
+            for (String next : batch) {
+                new FastString(next.getBytes(StandardCharsets.UTF_8));
+            }
+            FastString.of(batch);
         }
     }
 
@@ -254,4 +265,66 @@ public class FastStringPerformanceTest {
         System.out.printf("Substring - String: %d ns, FastString: %d ns, FastStringRopeLike: %d ns, Ratio (FS/S): %.2f%n, Ratio (FSRL/S): %.2f%n",
                 stringTime, fastStringTime, fastStringRopeLikeTime, (double) fastStringTime / stringTime, (double) fastStringRopeLikeTime / stringTime);
     }
-}
\ No newline at end of file
+
+    private static void testFromString() {
+        String str = new String(SAMPLE_BYTES, StandardCharsets.UTF_8);
+
+        // Test FastString via getBytes() + constructor rescan
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            new FastString(str.getBytes(StandardCharsets.UTF_8));
+        }
+        long getBytesTime = System.nanoTime() - startTime;
+
+        // Test FastString.of(String)
+        startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            FastString.of(str);
+        }
+        long ofTime = System.nanoTime() - startTime;
+
+        System.out.printf("FromString - getBytes+new: %d ns, FastString.of: %d ns, Ratio (of/getBytes): %.2f%n",
+                getBytesTime, ofTime, (double) ofTime / getBytesTime);
+    }
+
+    private static void testFromStringBatch() {
+        int N = 10_000; // Number of strings per batch
+        String[] strings = new String[N];
+        for (int i = 0; i < N; i++) {
+            strings[i] = "hello" + i;
+        }
+        int rounds = ITERATIONS / N;
+
+        // Alternate both paths untimed until steady state so neither is penalised for running first
+        for (int r = 0; r < rounds; r++) {
+            convertEach(strings);
+            FastString.of(strings);
+        }
+
+        // Keep alternating while timing, so both paths see the same GC and JIT state
+        long singleTime = 0;
+        long batchTime = 0;
+        for (int r = 0; r < rounds; r++) {
+            // Test one FastString per String, each with its own byte array
+            long startTime = System.nanoTime();
+            convertEach(strings);
+            singleTime += System.nanoTime() - startTime;
+
+            // Test FastString.of(String[]) with one shared byte array
+            startTime = System.nanoTime();
+            FastString.of(strings);
+            batchTime += System.nanoTime() - startTime;
+        }
+
+        System.out.printf("FromStringBatch - getBytes+new: %d ns, FastString.of[]: %d ns, Ratio (of[]/getBytes): %.2f%n",
+                singleTime, batchTime, (double) batchTime / singleTime);
+    }
+
+    private static FastString[] convertEach(String[] strings) {
+        FastString[] out = new FastString[strings.length];
+        for (int i = 0; i < strings.length; i++) {
+            out[i] = new FastString(strings[i].getBytes(StandardCharsets.UTF_8));
+        }
+        return out;
+    }
+}
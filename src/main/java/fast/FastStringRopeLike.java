@@ -31,6 +31,16 @@ public class FastStringRopeLike implements CharSequence {
         return node.getCharLength();
     }
 
+    // Length of the underlying UTF-8 data in bytes
+    int byteLength() {
+        return node.getByteLength();
+    }
+
+    // Copies the underlying UTF-8 data into dest without decoding it
+    void copyBytesTo(byte[] dest, int destOffset) {
+        node.copyBytesTo(dest, destOffset);
+    }
+
     @Override
     public char charAt(int index) {
         if (index < 0 || index >= node.getCharLength()) {
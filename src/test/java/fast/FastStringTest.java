@@ -0,0 +1,120 @@
+package fast;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FastStringTest {
+    private static final String[] SAMPLES = {
+            "",
+            "Hello, World!",
+            "caf\u00e9 na\u00efve \u00ff",              // Latin-1
+            "\u65e5\u672c\u8a9e\u30c6\u30ad\u30b9\u30c8", // CJK
+            "a\uD83D\uDE00b\uD83C\uDF89",               // surrogate pairs
+            "x\uD800y",                                   // lone high surrogate
+            "x\uDC00y",                                   // lone low surrogate
+            "trailing\uD800",                             // trailing high surrogate
+            "\u00e9\uDC00z\uD83D\uDE00",                 // Latin-1, lone surrogate and pair mixed
+    };
+
+    private static FastString viaBytes(String s) {
+        return new FastString(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertSameContent(FastString expected, FastString actual, String source) {
+        assertEquals(expected.toString(), actual.toString(), () -> "content of " + escape(source));
+        assertEquals(expected.length(), actual.length(), () -> "length of " + escape(source));
+    }
+
+    private static String escape(String s) {
+        StringBuilder sb = new StringBuilder();
+        for (char c : s.toCharArray()) {
+            sb.append(c < 0x80 ? String.valueOf(c) : String.format("\\u%04x", (int) c));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void ofStringMatchesByteConstructor() {
+        for (String s : SAMPLES) {
+            assertSameContent(viaBytes(s), FastString.of(s), s);
+        }
+    }
+
+    @Test
+    void ofStringArrayMatchesByteConstructor() {
+        FastString[] batch = FastString.of(SAMPLES);
+        assertEquals(SAMPLES.length, batch.length);
+        for (int i = 0; i < SAMPLES.length; i++) {
+            assertSameContent(viaBytes(SAMPLES[i]), batch[i], SAMPLES[i]);
+        }
+    }
+
+    @Test
+    void ofStringArrayAllAscii() {
+        String[] strings = {"hello0", "", "hello1", "world"};
+        FastString[] batch = FastString.of(strings);
+        for (int i = 0; i < strings.length; i++) {
+            assertSameContent(viaBytes(strings[i]), batch[i], strings[i]);
+        }
+    }
+
+    @Test
+    void ofStringArrayEmpty() {
+        assertEquals(0, FastString.of(new String[0]).length);
+    }
+
+    @Test
+    void ofRejectsNull() {
+        assertThrows(IllegalArgumentException.class, () -> FastString.of((String) null));
+        assertThrows(IllegalArgumentException.class, () -> FastString.of((CharSequence) null));
+        assertThrows(IllegalArgumentException.class, () -> FastString.of((String[]) null));
+        assertThrows(IllegalArgumentException.class, () -> FastString.of(new String[]{"a", null}));
+    }
+
+    @Test
+    void ofCharSequenceReturnsFastStringAsIs() {
+        FastString fs = FastString.of("Hello");
+        assertSame(fs, FastString.of((CharSequence) fs));
+    }
+
+    @Test
+    void ofCharSequenceConvertsOtherSequences() {
+        for (String s : SAMPLES) {
+            assertSameContent(viaBytes(s), FastString.of(new StringBuilder(s)), s);
+        }
+    }
+
+    @Test
+    void ofRopeCopiesBytesWithKnownLength() {
+        // FastStringRopeLike only decodes up to 3-byte sequences, so no surrogate pairs here
+        String left = "Hello, ";
+        String right = "w\u00f6rld \u65e5\u672c";
+        FastStringRopeLike rope = new FastStringRopeLike(left.getBytes(StandardCharsets.UTF_8))
+                .concat(new FastStringRopeLike(right.getBytes(StandardCharsets.UTF_8)));
+
+        FastString fs = FastString.of(rope);
+        assertSameContent(viaBytes(left + right), fs, left + right);
+        assertEquals(rope.length(), fs.length());
+    }
+
+    @Test
+    void concatAndSubSequenceKeepCharLength() {
+        for (String a : SAMPLES) {
+            for (String b : SAMPLES) {
+                FastString joined = FastString.of(a).concat(FastString.of(b));
+                assertSameContent(viaBytes(a + b), joined, a + b);
+
+                // The view's passed-down char length must agree with a fresh rescan of its bytes
+                int start = joined.length() / 3;
+                FastString sub = (FastString) joined.subSequence(start, joined.length());
+                assertEquals(joined.length() - start, sub.length());
+                assertSameContent(viaBytes(sub.toString()), sub, a + b);
+            }
+        }
+    }
+}